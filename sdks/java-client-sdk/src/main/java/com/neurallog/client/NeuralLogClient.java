@@ -4,9 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.neurallog.client.api.AuthService;
 import com.neurallog.client.api.LogsService;
+import com.neurallog.client.api.ResourceTokenCache;
 import com.neurallog.client.crypto.CryptoService;
 import com.neurallog.client.crypto.KeyHierarchy;
+import com.neurallog.client.crypto.LogNameCache;
 import com.neurallog.client.exception.AuthenticationException;
+import com.neurallog.client.exception.HttpStatusException;
 import com.neurallog.client.exception.LogException;
 import com.neurallog.client.model.EncryptedKEK;
 import com.neurallog.client.model.LogEntry;
@@ -17,6 +20,7 @@ import com.neurallog.client.registry.TenantEndpoints;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +50,8 @@ public class NeuralLogClient {
     private CryptoService cryptoService;
     private KeyHierarchy keyHierarchy;
     private RegistryService registryService;
+    private final ResourceTokenCache tokenCache;
+    private final LogNameCache logNameCache;
 
     private String apiKey;
     private String masterSecret;
@@ -72,6 +78,8 @@ public class NeuralLogClient {
         this.logsService = new LogsService(logsUrl, objectMapper);
         this.cryptoService = new CryptoService();
         this.keyHierarchy = new KeyHierarchy();
+        this.tokenCache = new ResourceTokenCache(objectMapper);
+        this.logNameCache = new LogNameCache();
 
         if (this.registryUrl != null) {
             this.registryService = new RegistryService(registryUrl, objectMapper);
@@ -148,6 +156,8 @@ public class NeuralLogClient {
             if (valid) {
                 this.apiKey = apiKey;
                 this.authenticated = true;
+                tokenCache.clear();
+                logNameCache.clear();
 
                 // Initialize key hierarchy from API key
                 keyHierarchy.initializeFromApiKey(apiKey, tenantId);
@@ -181,6 +191,8 @@ public class NeuralLogClient {
             // Set API key from login response
             this.apiKey = loginResponse.getToken();
             this.authenticated = true;
+            tokenCache.clear();
+            logNameCache.clear();
 
             // Derive master secret
             this.masterSecret = cryptoService.deriveMasterSecret(username, password);
@@ -196,10 +208,12 @@ public class NeuralLogClient {
             if (encryptedKEK != null) {
                 // Decrypt KEK with master secret
                 byte[] kek = cryptoService.decryptKEK(encryptedKEK, this.masterSecret);
+                keyHierarchy.clearKeyCache();
                 keyHierarchy = new KeyHierarchy(kek);
             } else {
                 // Generate new KEK
                 byte[] kek = cryptoService.generateKEK();
+                keyHierarchy.clearKeyCache();
                 keyHierarchy = new KeyHierarchy(kek);
 
                 // Encrypt KEK with master secret
@@ -257,16 +271,54 @@ public class NeuralLogClient {
             logEntry.setData(encryptedData);
             logEntry.setEncrypted(true);
 
-            // Get resource token
-            String resourceToken = authService.getResourceToken(apiKey, tenantId, "logs/" + encryptedLogName);
-
             // Send log to server
-            return logsService.appendLog(encryptedLogName, logEntry, resourceToken);
+            return withResourceToken("logs/" + encryptedLogName,
+                resourceToken -> logsService.appendLog(encryptedLogName, logEntry, resourceToken));
         } catch (Exception e) {
             throw new LogException("Failed to log data", e);
         }
     }
 
+    /**
+     * Log a batch of entries to the specified log in a single request.
+     *
+     * @param logName the log name
+     * @param entries the data to log, one map per entry
+     * @return the log ID
+     * @throws LogException if logging fails
+     */
+    public String logBatch(String logName, List<Map<String, Object>> entries) throws LogException {
+        if (!authenticated) {
+            throw new LogException("Not authenticated");
+        }
+
+        try {
+            // Ensure endpoints are initialized
+            initialize();
+
+            // Encrypt log name
+            String encryptedLogName = encryptLogName(logName);
+
+            // Encrypt each entry with the same log key
+            byte[] encryptionKey = keyHierarchy.deriveLogEncryptionKey(apiKey, tenantId, logName);
+            List<LogEntry> logEntries = new ArrayList<>(entries.size());
+            for (Map<String, Object> data : entries) {
+                LogEntry logEntry = new LogEntry();
+                logEntry.setId(UUID.randomUUID().toString());
+                logEntry.setTimestamp(Instant.now());
+                logEntry.setData(cryptoService.encryptLogData(data, encryptionKey));
+                logEntry.setEncrypted(true);
+                logEntries.add(logEntry);
+            }
+
+            // Send the whole batch to the server
+            return withResourceToken("logs/" + encryptedLogName,
+                resourceToken -> logsService.appendLogs(encryptedLogName, logEntries, resourceToken));
+        } catch (Exception e) {
+            throw new LogException("Failed to log batch", e);
+        }
+    }
+
     /**
      * Get logs from the specified log.
      *
@@ -287,11 +339,9 @@ public class NeuralLogClient {
             // Encrypt log name
             String encryptedLogName = encryptLogName(logName);
 
-            // Get resource token
-            String resourceToken = authService.getResourceToken(apiKey, tenantId, "logs/" + encryptedLogName);
-
             // Get logs from server
-            List<LogEntry> encryptedLogs = logsService.getLogs(encryptedLogName, limit, resourceToken);
+            List<LogEntry> encryptedLogs = withResourceToken("logs/" + encryptedLogName,
+                resourceToken -> logsService.getLogs(encryptedLogName, limit, resourceToken));
 
             // Decrypt logs
             byte[] encryptionKey = keyHierarchy.deriveLogEncryptionKey(apiKey, tenantId, logName);
@@ -329,15 +379,13 @@ public class NeuralLogClient {
             // Encrypt log name
             String encryptedLogName = encryptLogName(logName);
 
-            // Get resource token
-            String resourceToken = authService.getResourceToken(apiKey, tenantId, "logs/" + encryptedLogName);
-
             // Generate search tokens
             byte[] searchKey = keyHierarchy.deriveLogSearchKey(apiKey, tenantId, logName);
             List<String> searchTokens = cryptoService.generateSearchTokens(options.getQuery(), searchKey);
 
             // Search logs on server
-            List<LogEntry> encryptedResults = logsService.searchLogs(encryptedLogName, searchTokens, options.getLimit(), resourceToken);
+            List<LogEntry> encryptedResults = withResourceToken("logs/" + encryptedLogName,
+                resourceToken -> logsService.searchLogs(encryptedLogName, searchTokens, options.getLimit(), resourceToken));
 
             // Decrypt results
             byte[] encryptionKey = keyHierarchy.deriveLogEncryptionKey(apiKey, tenantId, logName);
@@ -370,11 +418,8 @@ public class NeuralLogClient {
             // Ensure endpoints are initialized
             initialize();
 
-            // Get resource token
-            String resourceToken = authService.getResourceToken(apiKey, tenantId, "logs");
-
             // Get encrypted log names from server
-            List<String> encryptedLogNames = logsService.getLogNames(resourceToken);
+            List<String> encryptedLogNames = withResourceToken("logs", logsService::getLogNames);
 
             // Decrypt log names
             return encryptedLogNames.stream()
@@ -409,11 +454,11 @@ public class NeuralLogClient {
             // Encrypt log name
             String encryptedLogName = encryptLogName(logName);
 
-            // Get resource token
-            String resourceToken = authService.getResourceToken(apiKey, tenantId, "logs/" + encryptedLogName);
-
             // Clear log on server
-            logsService.clearLog(encryptedLogName, resourceToken);
+            withResourceToken("logs/" + encryptedLogName, resourceToken -> {
+                logsService.clearLog(encryptedLogName, resourceToken);
+                return null;
+            });
         } catch (Exception e) {
             throw new LogException("Failed to clear log", e);
         }
@@ -437,11 +482,11 @@ public class NeuralLogClient {
             // Encrypt log name
             String encryptedLogName = encryptLogName(logName);
 
-            // Get resource token
-            String resourceToken = authService.getResourceToken(apiKey, tenantId, "logs/" + encryptedLogName);
-
             // Delete log on server
-            logsService.deleteLog(encryptedLogName, resourceToken);
+            withResourceToken("logs/" + encryptedLogName, resourceToken -> {
+                logsService.deleteLog(encryptedLogName, resourceToken);
+                return null;
+            });
         } catch (Exception e) {
             throw new LogException("Failed to delete log", e);
         }
@@ -465,15 +510,58 @@ public class NeuralLogClient {
     }
 
     /**
-     * Encrypt a log name.
+     * Run a request with a cached resource token. If the server rejects the token
+     * as unauthorized, it is dropped from the cache and the request is retried
+     * once with a fresh token.
+     *
+     * @param resource the resource path
+     * @param request the request to run
+     * @param <T> the type of the result
+     * @return the result of the request
+     * @throws IOException if the request fails
+     */
+    private <T> T withResourceToken(String resource, ResourceRequest<T> request) throws IOException {
+        try {
+            return request.run(getResourceToken(resource));
+        } catch (HttpStatusException e) {
+            if (!e.isUnauthorized()) {
+                throw e;
+            }
+            tokenCache.invalidate(tenantId, resource);
+            return request.run(getResourceToken(resource));
+        }
+    }
+
+    /**
+     * Get a resource token from the cache, requesting a new one if needed.
+     *
+     * @param resource the resource path
+     * @return the resource token
+     * @throws IOException if the request fails
+     */
+    private String getResourceToken(String resource) throws IOException {
+        return tokenCache.getToken(tenantId, resource,
+            () -> authService.getResourceToken(apiKey, tenantId, resource));
+    }
+
+    /**
+     * Encrypt a log name. Log names are encrypted deterministically, so the
+     * result is cached and reused for every request to the same log.
      *
      * @param logName the log name
      * @return the encrypted log name
      * @throws Exception if encryption fails
      */
     private String encryptLogName(String logName) throws Exception {
+        String encryptedLogName = logNameCache.getEncrypted(logName);
+        if (encryptedLogName != null) {
+            return encryptedLogName;
+        }
+
         byte[] logNameKey = keyHierarchy.deriveLogNameKey(apiKey, tenantId);
-        return cryptoService.encryptLogName(logName, logNameKey);
+        encryptedLogName = cryptoService.encryptLogNameDeterministic(logName, logNameKey);
+        logNameCache.putEncrypted(logName, encryptedLogName);
+        return encryptedLogName;
     }
 
     /**
@@ -484,8 +572,15 @@ public class NeuralLogClient {
      * @throws Exception if decryption fails
      */
     private String decryptLogName(String encryptedLogName) throws Exception {
+        String logName = logNameCache.getDecrypted(encryptedLogName);
+        if (logName != null) {
+            return logName;
+        }
+
         byte[] logNameKey = keyHierarchy.deriveLogNameKey(apiKey, tenantId);
-        return cryptoService.decryptLogName(encryptedLogName, logNameKey);
+        logName = cryptoService.decryptLogName(encryptedLogName, logNameKey);
+        logNameCache.putDecrypted(encryptedLogName, logName);
+        return logName;
     }
 
     /**
@@ -493,5 +588,16 @@ public class NeuralLogClient {
      */
     public void close() {
         executor.shutdown();
+        keyHierarchy.clearKeyCache();
+    }
+
+    /**
+     * A request that needs a resource token.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    private interface ResourceRequest<T> {
+        T run(String resourceToken) throws IOException;
     }
 }
@@ -1,6 +1,7 @@
 package com.neurallog.client.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neurallog.client.exception.HttpStatusException;
 import com.neurallog.client.model.ApiKeyInfo;
 import com.neurallog.client.model.CreateApiKeyRequest;
 import com.neurallog.client.model.EncryptedKEK;
@@ -121,7 +122,7 @@ public class AuthService {
 
         try (Response response = httpClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
-                throw new IOException("Failed to get resource token: " + response.code());
+                throw new HttpStatusException("Failed to get resource token: " + response.code(), response.code());
             }
 
             String responseBody = response.body().string();
@@ -158,7 +159,7 @@ public class AuthService {
 
         try (Response response = httpClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
-                throw new IOException("Failed to login: " + response.code());
+                throw new HttpStatusException("Failed to login: " + response.code(), response.code());
             }
 
             String responseBody = response.body().string();
@@ -186,7 +187,7 @@ public class AuthService {
             }
 
             if (!response.isSuccessful()) {
-                throw new IOException("Failed to get encrypted KEK: " + response.code());
+                throw new HttpStatusException("Failed to get encrypted KEK: " + response.code(), response.code());
             }
 
             String responseBody = response.body().string();
@@ -215,7 +216,7 @@ public class AuthService {
 
         try (Response response = httpClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
-                throw new IOException("Failed to create encrypted KEK: " + response.code());
+                throw new HttpStatusException("Failed to create encrypted KEK: " + response.code(), response.code());
             }
         }
     }
@@ -241,7 +242,7 @@ public class AuthService {
 
         try (Response response = httpClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
-                throw new IOException("Failed to update encrypted KEK: " + response.code());
+                throw new HttpStatusException("Failed to update encrypted KEK: " + response.code(), response.code());
             }
         }
     }
@@ -2,6 +2,7 @@ package com.neurallog.client.api;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neurallog.client.exception.HttpStatusException;
 import com.neurallog.client.model.LogEntry;
 import okhttp3.*;
 
@@ -48,11 +49,24 @@ public class LogsService {
      * @throws IOException if the request fails
      */
     public String appendLog(String logName, LogEntry logEntry, String resourceToken) throws IOException {
-        HttpUrl url = HttpUrl.parse(baseUrl + "/logs/" + logName);
-        
         List<LogEntry> entries = new ArrayList<>();
         entries.add(logEntry);
         
+        return appendLogs(logName, entries, resourceToken);
+    }
+    
+    /**
+     * Append a batch of log entries to the specified log in a single request.
+     * 
+     * @param logName the log name
+     * @param entries the log entries
+     * @param resourceToken the resource token
+     * @return the log ID
+     * @throws IOException if the request fails
+     */
+    public String appendLogs(String logName, List<LogEntry> entries, String resourceToken) throws IOException {
+        HttpUrl url = HttpUrl.parse(baseUrl + "/logs/" + logName);
+        
         RequestBody body = RequestBody.create(
             objectMapper.writeValueAsString(entries),
             MediaType.parse("application/json")
@@ -66,7 +80,7 @@ public class LogsService {
         
         try (Response response = httpClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
-                throw new IOException("Failed to append log: " + response.code());
+                throw new HttpStatusException("Failed to append log: " + response.code(), response.code());
             }
             
             String responseBody = response.body().string();
@@ -99,7 +113,7 @@ public class LogsService {
         
         try (Response response = httpClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
-                throw new IOException("Failed to get logs: " + response.code());
+                throw new HttpStatusException("Failed to get logs: " + response.code(), response.code());
             }
             
             String responseBody = response.body().string();
@@ -149,7 +163,7 @@ public class LogsService {
         
         try (Response response = httpClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
-                throw new IOException("Failed to search logs: " + response.code());
+                throw new HttpStatusException("Failed to search logs: " + response.code(), response.code());
             }
             
             String responseBody = response.body().string();
@@ -190,7 +204,7 @@ public class LogsService {
         
         try (Response response = httpClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
-                throw new IOException("Failed to get log names: " + response.code());
+                throw new HttpStatusException("Failed to get log names: " + response.code(), response.code());
             }
             
             String responseBody = response.body().string();
@@ -218,7 +232,7 @@ public class LogsService {
         
         try (Response response = httpClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
-                throw new IOException("Failed to clear log: " + response.code());
+                throw new HttpStatusException("Failed to clear log: " + response.code(), response.code());
             }
         }
     }
@@ -241,7 +255,7 @@ public class LogsService {
         
         try (Response response = httpClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
-                throw new IOException("Failed to delete log: " + response.code());
+                throw new HttpStatusException("Failed to delete log: " + response.code(), response.code());
             }
         }
     }
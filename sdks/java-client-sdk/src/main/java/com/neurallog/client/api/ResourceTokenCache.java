@@ -0,0 +1,198 @@
+package com.neurallog.client.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Cache for resource tokens, keyed by tenant ID and resource path.
+ *
+ * The expiry of each token is read from its {@code exp} claim when the token is
+ * a JWT; other tokens are kept for a default lifetime. A token is refreshed
+ * shortly before it expires: the first caller to notice performs the refresh,
+ * while concurrent callers keep using the still-valid token. When no valid token
+ * is cached, concurrent callers for the same resource share a single request.
+ */
+public class ResourceTokenCache {
+
+    private static final long DEFAULT_TOKEN_LIFETIME_MS = 5 * 60 * 1000;
+    private static final long REFRESH_MARGIN_MS = 30 * 1000;
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedToken>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new resource token cache.
+     *
+     * @param objectMapper the object mapper used to read token claims
+     */
+    public ResourceTokenCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Get a resource token, loading it if no valid token is cached.
+     *
+     * @param tenantId the tenant ID
+     * @param resource the resource path
+     * @param loader the loader used to request a new token
+     * @return the resource token
+     * @throws IOException if no valid token is cached and loading fails
+     */
+    public String getToken(String tenantId, String resource, TokenLoader loader) throws IOException {
+        String key = key(tenantId, resource);
+        CachedToken cached = tokens.get(key);
+        long now = System.currentTimeMillis();
+
+        if (cached != null && now < cached.expiresAt) {
+            // Refresh ahead of expiry unless another caller is already doing so
+            if (now < cached.refreshAt || inFlight.containsKey(key)) {
+                return cached.token;
+            }
+            try {
+                return load(key, loader).token;
+            } catch (IOException e) {
+                return cached.token;
+            }
+        }
+
+        return load(key, loader).token;
+    }
+
+    /**
+     * Remove a cached token, for example after the server rejected it.
+     *
+     * @param tenantId the tenant ID
+     * @param resource the resource path
+     */
+    public void invalidate(String tenantId, String resource) {
+        tokens.remove(key(tenantId, resource));
+    }
+
+    /**
+     * Remove all cached tokens.
+     */
+    public void clear() {
+        tokens.clear();
+    }
+
+    /**
+     * Load a token, sharing the request with any concurrent caller for the same key.
+     *
+     * @param key the cache key
+     * @param loader the loader used to request a new token
+     * @return the loaded token
+     * @throws IOException if loading fails
+     */
+    private CachedToken load(String key, TokenLoader loader) throws IOException {
+        CompletableFuture<CachedToken> flight = new CompletableFuture<>();
+        CompletableFuture<CachedToken> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            String token = loader.load();
+            CachedToken cached = new CachedToken(token, readExpiry(token));
+            tokens.put(key, cached);
+            flight.complete(cached);
+            return cached;
+        } catch (IOException | RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Wait for a load started by another caller.
+     *
+     * @param flight the pending load
+     * @return the loaded token
+     * @throws IOException if the load failed
+     */
+    private CachedToken await(CompletableFuture<CachedToken> flight) throws IOException {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for resource token");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to get resource token", cause);
+        }
+    }
+
+    /**
+     * Read the expiry time of a token.
+     *
+     * @param token the token
+     * @return the expiry time in milliseconds since the epoch
+     */
+    private long readExpiry(String token) {
+        long now = System.currentTimeMillis();
+        if (token == null) {
+            return now;
+        }
+
+        String[] parts = token.split("\\.");
+        if (parts.length == 3) {
+            try {
+                byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+                Object exp = objectMapper.readValue(payload, Map.class).get("exp");
+                if (exp instanceof Number) {
+                    return ((Number) exp).longValue() * 1000;
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                // Not a JWT, fall back to the default lifetime
+            }
+        }
+
+        return now + DEFAULT_TOKEN_LIFETIME_MS;
+    }
+
+    private static String key(String tenantId, String resource) {
+        return tenantId + '\n' + resource;
+    }
+
+    /**
+     * Loads a new resource token from the auth service.
+     */
+    @FunctionalInterface
+    public interface TokenLoader {
+
+        /**
+         * Load a new resource token.
+         *
+         * @return the resource token
+         * @throws IOException if the request fails
+         */
+        String load() throws IOException;
+    }
+
+    /**
+     * A cached token with its expiry and refresh times.
+     */
+    private static final class CachedToken {
+        private final String token;
+        private final long expiresAt;
+        private final long refreshAt;
+
+        CachedToken(String token, long expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+            this.refreshAt = expiresAt - Math.min(REFRESH_MARGIN_MS, (expiresAt - System.currentTimeMillis()) / 2);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.neurallog.client.crypto;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import java.io.ByteArrayOutputStream;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+/**
+ * Per-thread cryptographic engines and scratch buffers.
+ *
+ * {@link Cipher#getInstance} and {@link Mac#getInstance} are expensive, and each
+ * log entry used to allocate several full copies of its payload. This class keeps
+ * one AES-GCM cipher, one HMAC and a set of growable buffers per thread, so the
+ * hot paths in {@link CryptoService} and {@link KeyHierarchy} only re-initialize
+ * existing objects. Buffers that grew beyond {@link #MAX_RETAINED_BUFFER_SIZE}
+ * are dropped after use so one large entry does not pin memory on a thread.
+ */
+final class CryptoEngine {
+
+    private static final String AES_GCM_ALGORITHM = "AES/GCM/NoPadding";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<Cipher> GCM_CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(AES_GCM_ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES-GCM is not available", e);
+        }
+    });
+
+    private static final ThreadLocal<Mac> HMAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(HMAC_ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    });
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private CryptoEngine() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Get this thread's AES-GCM cipher. It must be initialized before each use.
+     *
+     * @return the cipher
+     */
+    static Cipher gcmCipher() {
+        return GCM_CIPHER.get();
+    }
+
+    /**
+     * Get this thread's HMAC-SHA256 instance. It must be initialized before each use.
+     *
+     * @return the HMAC instance
+     */
+    static Mac hmac() {
+        return HMAC.get();
+    }
+
+    /**
+     * Get this thread's scratch buffers, emptied and ready for use.
+     *
+     * @return the buffers
+     */
+    static Buffers buffers() {
+        Buffers buffers = BUFFERS.get();
+        buffers.reset();
+        return buffers;
+    }
+
+    /**
+     * Scratch buffers for one thread.
+     */
+    static final class Buffers {
+        final PayloadBuffer plaintext = new PayloadBuffer();
+        final PayloadBuffer encoded = new PayloadBuffer();
+        private byte[] ciphertext = new byte[INITIAL_BUFFER_SIZE];
+
+        /**
+         * Get the ciphertext buffer, grown to at least the given size.
+         *
+         * @param size the required size
+         * @return the ciphertext buffer
+         */
+        byte[] ciphertext(int size) {
+            if (ciphertext.length < size) {
+                ciphertext = new byte[Math.max(size, ciphertext.length * 2)];
+            }
+            return ciphertext;
+        }
+
+        private void reset() {
+            plaintext.reset();
+            encoded.reset();
+            if (ciphertext.length > MAX_RETAINED_BUFFER_SIZE) {
+                ciphertext = new byte[INITIAL_BUFFER_SIZE];
+            }
+        }
+    }
+
+    /**
+     * A byte array output stream that exposes its backing array, so its contents
+     * can be passed on without the copy made by {@link #toByteArray()}.
+     */
+    static final class PayloadBuffer extends ByteArrayOutputStream {
+
+        PayloadBuffer() {
+            super(INITIAL_BUFFER_SIZE);
+        }
+
+        /**
+         * Get the backing array. Only the first {@link #size()} bytes are valid.
+         *
+         * @return the backing array
+         */
+        byte[] array() {
+            return buf;
+        }
+
+        /**
+         * Grow the backing array to at least the given size and mark that many
+         * bytes as written, so the buffer can be filled directly.
+         *
+         * @param size the number of bytes to reserve
+         * @return the backing array
+         */
+        byte[] reserve(int size) {
+            if (buf.length < size) {
+                buf = new byte[Math.max(size, buf.length * 2)];
+            }
+            count = size;
+            return buf;
+        }
+
+        @Override
+        public void reset() {
+            if (buf.length > MAX_RETAINED_BUFFER_SIZE) {
+                buf = new byte[INITIAL_BUFFER_SIZE];
+            } else {
+                // Plaintext must not linger in a reused buffer
+                Arrays.fill(buf, 0, count, (byte) 0);
+            }
+            super.reset();
+        }
+    }
+}
@@ -7,16 +7,21 @@ import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.security.spec.KeySpec;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.neurallog.client.model.EncryptedKEK;
 
 /**
@@ -28,6 +33,9 @@ public class CryptoService {
     private static final String HMAC_ALGORITHM = "HmacSHA256";
     private static final int GCM_TAG_LENGTH = 128;
     private static final int GCM_IV_LENGTH = 12;
+    private static final byte[] LOG_NAME_IV_CONTEXT = "log_name_iv".getBytes(StandardCharsets.UTF_8);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private final SecureRandom secureRandom;
 
@@ -41,35 +49,22 @@ public class CryptoService {
     /**
      * Encrypt log data.
      *
+     * The data is serialized straight into a reusable per-thread buffer and
+     * encrypted with a reusable per-thread cipher, so the only allocations that
+     * scale with the payload are the Base64 strings in the result.
+     *
      * @param data the data to encrypt
      * @param key the encryption key
      * @return the encrypted data
      * @throws Exception if encryption fails
      */
     public Map<String, Object> encryptLogData(Map<String, Object> data, byte[] key) throws Exception {
-        // Convert data to JSON string
-        String jsonData = new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(data);
-
-        // Generate IV
-        byte[] iv = new byte[GCM_IV_LENGTH];
-        secureRandom.nextBytes(iv);
-
-        // Create cipher
-        Cipher cipher = Cipher.getInstance(AES_GCM_ALGORITHM);
-        SecretKey secretKey = new SecretKeySpec(key, "AES");
-        GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
+        CryptoEngine.Buffers buffers = CryptoEngine.buffers();
 
-        // Encrypt
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey, parameterSpec);
-        byte[] encryptedData = cipher.doFinal(jsonData.getBytes(StandardCharsets.UTF_8));
-
-        // Create result
-        Map<String, Object> result = new HashMap<>();
-        result.put("iv", Base64.getEncoder().encodeToString(iv));
-        result.put("data", Base64.getEncoder().encodeToString(encryptedData));
-        result.put("algorithm", "aes-256-gcm");
+        // Convert data to JSON in the plaintext buffer
+        OBJECT_MAPPER.writeValue(buffers.plaintext, data);
 
-        return result;
+        return encryptPayload(buffers, key);
     }
 
     /**
@@ -81,22 +76,81 @@ public class CryptoService {
      * @throws Exception if decryption fails
      */
     public Map<String, Object> decryptLogData(Map<String, Object> encryptedData, byte[] key) throws Exception {
-        // Get IV and encrypted data
+        CryptoEngine.Buffers buffers = CryptoEngine.buffers();
+
+        // Get IV and decode the encrypted data into the ciphertext buffer
         byte[] iv = Base64.getDecoder().decode((String) encryptedData.get("iv"));
-        byte[] data = Base64.getDecoder().decode((String) encryptedData.get("data"));
+        String encoded = (String) encryptedData.get("data");
+        byte[] ciphertext = buffers.ciphertext(encoded.length());
+        int ciphertextLength = Base64.getDecoder().decode(encoded.getBytes(StandardCharsets.ISO_8859_1), ciphertext);
 
-        // Create cipher
-        Cipher cipher = Cipher.getInstance(AES_GCM_ALGORITHM);
+        // Initialize the cipher
+        Cipher cipher = CryptoEngine.gcmCipher();
         SecretKey secretKey = new SecretKeySpec(key, "AES");
         GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
-
-        // Decrypt
         cipher.init(Cipher.DECRYPT_MODE, secretKey, parameterSpec);
-        byte[] decryptedData = cipher.doFinal(data);
+
+        // Decrypt into the plaintext buffer
+        byte[] plaintext = buffers.plaintext.reserve(cipher.getOutputSize(ciphertextLength));
+        int plaintextLength = cipher.doFinal(
+            ByteBuffer.wrap(ciphertext, 0, ciphertextLength),
+            ByteBuffer.wrap(plaintext));
 
         // Parse JSON
-        String jsonData = new String(decryptedData, StandardCharsets.UTF_8);
-        return new com.fasterxml.jackson.databind.ObjectMapper().readValue(jsonData, Map.class);
+        return OBJECT_MAPPER.readValue(plaintext, 0, plaintextLength, Map.class);
+    }
+
+    /**
+     * Encrypt the serialized payload held in the plaintext buffer.
+     *
+     * @param buffers the scratch buffers holding the payload
+     * @param key the encryption key
+     * @return the encrypted data
+     * @throws Exception if encryption fails
+     */
+    private Map<String, Object> encryptPayload(CryptoEngine.Buffers buffers, byte[] key) throws Exception {
+        // Generate IV
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        secureRandom.nextBytes(iv);
+
+        // Initialize the cipher
+        Cipher cipher = CryptoEngine.gcmCipher();
+        SecretKey secretKey = new SecretKeySpec(key, "AES");
+        GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
+        cipher.init(Cipher.ENCRYPT_MODE, secretKey, parameterSpec);
+
+        // Encrypt into the pre-sized ciphertext buffer
+        int plaintextLength = buffers.plaintext.size();
+        byte[] ciphertext = buffers.ciphertext(cipher.getOutputSize(plaintextLength));
+        int ciphertextLength = cipher.doFinal(
+            ByteBuffer.wrap(buffers.plaintext.array(), 0, plaintextLength),
+            ByteBuffer.wrap(ciphertext));
+
+        // Create result
+        Map<String, Object> result = new HashMap<>();
+        result.put("iv", Base64.getEncoder().encodeToString(iv));
+        result.put("data", encodeBase64(buffers, ciphertext, ciphertextLength));
+        result.put("algorithm", "aes-256-gcm");
+
+        return result;
+    }
+
+    /**
+     * Base64-encode part of an array through the encoded buffer, without copying
+     * the input first.
+     *
+     * @param buffers the scratch buffers
+     * @param bytes the array to encode
+     * @param length the number of bytes to encode
+     * @return the Base64 string
+     * @throws IOException if encoding fails
+     */
+    private static String encodeBase64(CryptoEngine.Buffers buffers, byte[] bytes, int length) throws IOException {
+        buffers.encoded.reset();
+        try (OutputStream out = Base64.getEncoder().wrap(buffers.encoded)) {
+            out.write(bytes, 0, length);
+        }
+        return new String(buffers.encoded.array(), 0, buffers.encoded.size(), StandardCharsets.ISO_8859_1);
     }
 
     /**
@@ -113,6 +167,10 @@ public class CryptoService {
         // Split query into words
         String[] words = query.toLowerCase().split("\\s+");
 
+        // The HMAC keeps its key after each doFinal, so initialize it once
+        Mac hmac = CryptoEngine.hmac();
+        hmac.init(new SecretKeySpec(searchKey, HMAC_ALGORITHM));
+
         // Generate token for each word
         for (String word : words) {
             if (word.isEmpty()) {
@@ -120,9 +178,6 @@ public class CryptoService {
             }
 
             // Generate token
-            Mac hmac = Mac.getInstance(HMAC_ALGORITHM);
-            SecretKeySpec keySpec = new SecretKeySpec(searchKey, HMAC_ALGORITHM);
-            hmac.init(keySpec);
             byte[] tokenBytes = hmac.doFinal(word.getBytes(StandardCharsets.UTF_8));
 
             // Encode token
@@ -164,6 +219,49 @@ public class CryptoService {
         return Base64.getUrlEncoder().withoutPadding().encodeToString(combined);
     }
 
+    /**
+     * Encrypt a log name deterministically.
+     *
+     * The IV is a synthetic IV: an HMAC of the log name under a key derived from
+     * the log name key. The same log name therefore always encrypts to the same
+     * value, so the server sees one stable name per log. The output has the same
+     * layout as {@link #encryptLogName(String, byte[])} and is decrypted with
+     * {@link #decryptLogName(String, byte[])}.
+     *
+     * @param logName the log name
+     * @param logNameKey the log name key
+     * @return the encrypted log name
+     * @throws Exception if encryption fails
+     */
+    public String encryptLogNameDeterministic(String logName, byte[] logNameKey) throws Exception {
+        byte[] plaintext = logName.getBytes(StandardCharsets.UTF_8);
+
+        // Derive the synthetic IV from the log name
+        Mac hmac = CryptoEngine.hmac();
+        hmac.init(new SecretKeySpec(logNameKey, HMAC_ALGORITHM));
+        byte[] ivKey = hmac.doFinal(LOG_NAME_IV_CONTEXT);
+        hmac.init(new SecretKeySpec(ivKey, HMAC_ALGORITHM));
+        byte[] iv = Arrays.copyOf(hmac.doFinal(plaintext), GCM_IV_LENGTH);
+
+        // Create cipher; not the per-thread one, since GCM refuses to encrypt twice
+        // in a row with the same key and IV on one instance
+        Cipher cipher = Cipher.getInstance(AES_GCM_ALGORITHM);
+        SecretKey secretKey = new SecretKeySpec(logNameKey, "AES");
+        GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
+
+        // Encrypt
+        cipher.init(Cipher.ENCRYPT_MODE, secretKey, parameterSpec);
+        byte[] encryptedData = cipher.doFinal(plaintext);
+
+        // Combine IV and encrypted data
+        byte[] combined = new byte[iv.length + encryptedData.length];
+        System.arraycopy(iv, 0, combined, 0, iv.length);
+        System.arraycopy(encryptedData, 0, combined, iv.length, encryptedData.length);
+
+        // Encode
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(combined);
+    }
+
     /**
      * Decrypt a log name.
      *
@@ -205,7 +303,7 @@ public class CryptoService {
      */
     public String generateSearchToken(String term, byte[] searchKey) throws Exception {
         // Generate token
-        Mac hmac = Mac.getInstance(HMAC_ALGORITHM);
+        Mac hmac = CryptoEngine.hmac();
         SecretKeySpec keySpec = new SecretKeySpec(searchKey, HMAC_ALGORITHM);
         hmac.init(keySpec);
         byte[] tokenBytes = hmac.doFinal(term.getBytes(StandardCharsets.UTF_8));
@@ -353,7 +451,7 @@ public class CryptoService {
             String nonceBase64 = Base64.getEncoder().encodeToString(nonce);
 
             // Generate proof
-            Mac hmac = Mac.getInstance(HMAC_ALGORITHM);
+            Mac hmac = CryptoEngine.hmac();
             SecretKeySpec keySpec = new SecretKeySpec(apiKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
             hmac.init(keySpec);
             byte[] proofBytes = hmac.doFinal(nonceBase64.getBytes(StandardCharsets.UTF_8));
@@ -0,0 +1,165 @@
+package com.neurallog.client.crypto;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache for keys derived by the {@link KeyHierarchy}.
+ *
+ * Entries are evicted in least-recently-used order once the cache is full, and
+ * the bytes of evicted keys are overwritten with zeros. Callers always receive a
+ * copy of the cached key, so wiping an entry never affects a key in use.
+ */
+final class DerivedKeyCache {
+
+    private final int maxSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<CacheKey, byte[]> keys;
+
+    /**
+     * Create a new derived key cache.
+     *
+     * @param maxSize the maximum number of keys to keep
+     */
+    DerivedKeyCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Key cache size must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.keys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, byte[]> eldest) {
+                if (size() > DerivedKeyCache.this.maxSize) {
+                    Arrays.fill(eldest.getValue(), (byte) 0);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a derived key, deriving and caching it on a miss.
+     *
+     * @param context the derivation context
+     * @param apiKey the API key
+     * @param tenantId the tenant ID
+     * @param logName the log name, or null for keys that do not depend on a log
+     * @param derivation the derivation to run on a miss
+     * @return a copy of the derived key
+     * @throws Exception if key derivation fails
+     */
+    byte[] get(String context, String apiKey, String tenantId, String logName, KeyDerivation derivation)
+            throws Exception {
+        CacheKey cacheKey = new CacheKey(context, apiKey, tenantId, logName);
+
+        lock.lock();
+        try {
+            byte[] cached = keys.get(cacheKey);
+            if (cached != null) {
+                return cached.clone();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Derive outside the lock; a concurrent miss only costs a duplicate derivation
+        byte[] derived = derivation.derive();
+
+        lock.lock();
+        try {
+            byte[] cached = keys.putIfAbsent(cacheKey, derived);
+            if (cached != null) {
+                Arrays.fill(derived, (byte) 0);
+                return cached.clone();
+            }
+            return derived.clone();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove all keys, overwriting their bytes with zeros.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            for (byte[] key : keys.values()) {
+                Arrays.fill(key, (byte) 0);
+            }
+            keys.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of cached keys.
+     *
+     * @return the number of cached keys
+     */
+    int size() {
+        lock.lock();
+        try {
+            return keys.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Derives a key on a cache miss.
+     */
+    @FunctionalInterface
+    interface KeyDerivation {
+        byte[] derive() throws Exception;
+    }
+
+    /**
+     * Identifies a derived key by its inputs.
+     */
+    private static final class CacheKey {
+        private final String context;
+        private final String apiKey;
+        private final String tenantId;
+        private final String logName;
+        private final int hash;
+
+        CacheKey(String context, String apiKey, String tenantId, String logName) {
+            this.context = context;
+            this.apiKey = apiKey;
+            this.tenantId = tenantId;
+            this.logName = logName;
+            int h = context.hashCode();
+            h = 31 * h + Objects.hashCode(apiKey);
+            h = 31 * h + Objects.hashCode(tenantId);
+            h = 31 * h + Objects.hashCode(logName);
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return hash == other.hash
+                && context.equals(other.context)
+                && Objects.equals(apiKey, other.apiKey)
+                && Objects.equals(tenantId, other.tenantId)
+                && Objects.equals(logName, other.logName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
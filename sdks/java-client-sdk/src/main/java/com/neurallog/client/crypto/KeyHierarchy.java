@@ -4,7 +4,6 @@ import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 
 /**
@@ -26,8 +25,10 @@ public class KeyHierarchy {
     private static final String LOG_NAME_KEY_CONTEXT = "log_name";
     private static final String API_KEY_CONTEXT = "api_key";
     private static final String KEK_CONTEXT = "kek";
+    private static final int KEY_CACHE_SIZE = 1024;
 
     private byte[] kek = null;
+    private final DerivedKeyCache keyCache = new DerivedKeyCache(KEY_CACHE_SIZE);
 
     /**
      * Create a new KeyHierarchy.
@@ -46,6 +47,7 @@ public class KeyHierarchy {
 
     /**
      * Derive a log encryption key from the API key, tenant ID, and log name.
+     * The key is cached, so repeated calls for the same log do not rerun the derivation.
      *
      * @param apiKey the API key
      * @param tenantId the tenant ID
@@ -54,12 +56,15 @@ public class KeyHierarchy {
      * @throws Exception if key derivation fails
      */
     public byte[] deriveLogEncryptionKey(String apiKey, String tenantId, String logName) throws Exception {
-        String context = LOG_ENCRYPTION_KEY_CONTEXT + ":" + tenantId + ":" + logName;
-        return deriveKey(apiKey.getBytes(StandardCharsets.UTF_8), context);
+        return keyCache.get(LOG_ENCRYPTION_KEY_CONTEXT, apiKey, tenantId, logName, () -> {
+            String context = LOG_ENCRYPTION_KEY_CONTEXT + ":" + tenantId + ":" + logName;
+            return deriveKey(apiKey.getBytes(StandardCharsets.UTF_8), context);
+        });
     }
 
     /**
      * Derive a log search key from the API key, tenant ID, and log name.
+     * The key is cached, so repeated calls for the same log do not rerun the derivation.
      *
      * @param apiKey the API key
      * @param tenantId the tenant ID
@@ -68,12 +73,15 @@ public class KeyHierarchy {
      * @throws Exception if key derivation fails
      */
     public byte[] deriveLogSearchKey(String apiKey, String tenantId, String logName) throws Exception {
-        String context = LOG_SEARCH_KEY_CONTEXT + ":" + tenantId + ":" + logName;
-        return deriveKey(apiKey.getBytes(StandardCharsets.UTF_8), context);
+        return keyCache.get(LOG_SEARCH_KEY_CONTEXT, apiKey, tenantId, logName, () -> {
+            String context = LOG_SEARCH_KEY_CONTEXT + ":" + tenantId + ":" + logName;
+            return deriveKey(apiKey.getBytes(StandardCharsets.UTF_8), context);
+        });
     }
 
     /**
      * Derive a log name key from the API key and tenant ID.
+     * The key is cached, so repeated calls do not rerun the derivation.
      *
      * @param apiKey the API key
      * @param tenantId the tenant ID
@@ -81,8 +89,17 @@ public class KeyHierarchy {
      * @throws Exception if key derivation fails
      */
     public byte[] deriveLogNameKey(String apiKey, String tenantId) throws Exception {
-        String context = LOG_NAME_KEY_CONTEXT + ":" + tenantId;
-        return deriveKey(apiKey.getBytes(StandardCharsets.UTF_8), context);
+        return keyCache.get(LOG_NAME_KEY_CONTEXT, apiKey, tenantId, null, () -> {
+            String context = LOG_NAME_KEY_CONTEXT + ":" + tenantId;
+            return deriveKey(apiKey.getBytes(StandardCharsets.UTF_8), context);
+        });
+    }
+
+    /**
+     * Remove all cached derived keys, overwriting their bytes with zeros.
+     */
+    public void clearKeyCache() {
+        keyCache.clear();
     }
 
     /**
@@ -128,7 +145,7 @@ public class KeyHierarchy {
             String context = API_KEY_CONTEXT + ":" + tenantId + ":" + keyId;
 
             // Derive key
-            Mac hmac = Mac.getInstance(HMAC_ALGORITHM);
+            Mac hmac = CryptoEngine.hmac();
             SecretKeySpec keySpec = new SecretKeySpec(kek, HMAC_ALGORITHM);
             hmac.init(keySpec);
             byte[] derivedKey = hmac.doFinal(context.getBytes(StandardCharsets.UTF_8));
@@ -153,11 +170,11 @@ public class KeyHierarchy {
      */
     private byte[] deriveKey(byte[] keyMaterial, String context) throws Exception {
         try {
-            Mac hmac = Mac.getInstance(HMAC_ALGORITHM);
+            Mac hmac = CryptoEngine.hmac();
             SecretKeySpec keySpec = new SecretKeySpec(keyMaterial, HMAC_ALGORITHM);
             hmac.init(keySpec);
             return hmac.doFinal(context.getBytes(StandardCharsets.UTF_8));
-        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+        } catch (InvalidKeyException e) {
             throw new Exception("Failed to derive key", e);
         }
     }
@@ -0,0 +1,103 @@
+package com.neurallog.client.crypto;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-way cache between plaintext log names and their encrypted form.
+ *
+ * Mappings from plaintext to encrypted names are only recorded for deterministic
+ * encryption, so a write always targets the same server-side log. Mappings from
+ * encrypted to plaintext names are also recorded for names decrypted from the
+ * server, including names written with a random IV.
+ */
+public class LogNameCache {
+
+    private static final int DEFAULT_MAX_SIZE = 10000;
+
+    private final int maxSize;
+    private final Map<String, String> encryptedByName = new ConcurrentHashMap<>();
+    private final Map<String, String> nameByEncrypted = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new log name cache with the default size limit.
+     */
+    public LogNameCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Create a new log name cache.
+     *
+     * @param maxSize the maximum number of names kept in each direction
+     */
+    public LogNameCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Log name cache size must be at least 1");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the encrypted form of a log name.
+     *
+     * @param logName the plaintext log name
+     * @return the encrypted log name, or null if not cached
+     */
+    public String getEncrypted(String logName) {
+        return encryptedByName.get(logName);
+    }
+
+    /**
+     * Get the plaintext form of an encrypted log name.
+     *
+     * @param encryptedLogName the encrypted log name
+     * @return the plaintext log name, or null if not cached
+     */
+    public String getDecrypted(String encryptedLogName) {
+        return nameByEncrypted.get(encryptedLogName);
+    }
+
+    /**
+     * Record a deterministic encryption of a log name in both directions.
+     *
+     * @param logName the plaintext log name
+     * @param encryptedLogName the encrypted log name
+     */
+    public void putEncrypted(String logName, String encryptedLogName) {
+        trim(encryptedByName);
+        encryptedByName.put(logName, encryptedLogName);
+        putDecrypted(encryptedLogName, logName);
+    }
+
+    /**
+     * Record the decryption of an encrypted log name.
+     *
+     * @param encryptedLogName the encrypted log name
+     * @param logName the plaintext log name
+     */
+    public void putDecrypted(String encryptedLogName, String logName) {
+        trim(nameByEncrypted);
+        nameByEncrypted.put(encryptedLogName, logName);
+    }
+
+    /**
+     * Remove all cached names.
+     */
+    public void clear() {
+        encryptedByName.clear();
+        nameByEncrypted.clear();
+    }
+
+    /**
+     * Start over once a map reaches its size limit. Log names are normally a small,
+     * stable set, so this only happens when names are generated dynamically.
+     *
+     * @param map the map about to receive a new entry
+     */
+    private void trim(Map<String, String> map) {
+        if (map.size() >= maxSize) {
+            map.clear();
+        }
+    }
+}
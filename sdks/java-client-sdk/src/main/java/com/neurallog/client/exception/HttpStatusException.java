@@ -0,0 +1,40 @@
+package com.neurallog.client.exception;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown when a service responds with an unsuccessful HTTP status.
+ */
+public class HttpStatusException extends IOException {
+
+    private final int statusCode;
+
+    /**
+     * Create a new HTTP status exception with the specified message and status code.
+     *
+     * @param message the exception message
+     * @param statusCode the HTTP status code of the response
+     */
+    public HttpStatusException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Get the HTTP status code of the response.
+     *
+     * @return the HTTP status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Check if the request was rejected because its credentials are missing, invalid or expired.
+     *
+     * @return true if the status code is 401
+     */
+    public boolean isUnauthorized() {
+        return statusCode == 401;
+    }
+}
@@ -0,0 +1,269 @@
+package com.neurallog.client.http;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shared HTTP transport for the NeuralLog services.
+ *
+ * A transport owns a single connection pool and dispatcher, which every service
+ * created from the same {@link com.neurallog.client.NeuralLogClientConfig} shares.
+ * Configurations that do not set a transport use {@link #getDefault()}, so all
+ * clients in a process share one pool unless configured otherwise.
+ *
+ * Settings must be applied before the transport is first used; the underlying
+ * HTTP client is built on first use and cannot be changed afterwards.
+ */
+public class HttpTransport {
+
+    private static final HttpTransport DEFAULT = new HttpTransport();
+
+    private int maxIdleConnections = 5;
+    private long keepAliveMs = 5 * 60 * 1000;
+    private int maxRequests = 64;
+    private int maxRequestsPerHost = 5;
+    private long connectTimeoutMs = 10000;
+    private long readTimeoutMs = 30000;
+    private long writeTimeoutMs = 30000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile OkHttpClient httpClient;
+
+    /**
+     * Create a new HTTP transport with default values.
+     */
+    public HttpTransport() {
+        // Use default values
+    }
+
+    /**
+     * Get the process-wide default transport.
+     *
+     * @return the default transport
+     */
+    public static HttpTransport getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get the HTTP client, building it on first use.
+     *
+     * @return the HTTP client
+     */
+    public OkHttpClient getHttpClient() {
+        OkHttpClient client = httpClient;
+        if (client != null) {
+            return client;
+        }
+
+        lock.lock();
+        try {
+            if (httpClient == null) {
+                Dispatcher dispatcher = new Dispatcher();
+                dispatcher.setMaxRequests(maxRequests);
+                dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+                httpClient = new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMs, TimeUnit.MILLISECONDS))
+                    .dispatcher(dispatcher)
+                    .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                    .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+                    .writeTimeout(writeTimeoutMs, TimeUnit.MILLISECONDS)
+                    .build();
+            }
+            return httpClient;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Close idle connections and stop the dispatcher threads. Requests made after
+     * closing will fail; the default transport should not be closed.
+     */
+    public void close() {
+        OkHttpClient client = httpClient;
+        if (client != null) {
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        }
+    }
+
+    /**
+     * Get the maximum number of idle connections kept in the pool.
+     *
+     * @return the maximum number of idle connections
+     */
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    /**
+     * Set the maximum number of idle connections kept in the pool.
+     *
+     * @param maxIdleConnections the maximum number of idle connections
+     * @return this transport instance for chaining
+     */
+    public HttpTransport setMaxIdleConnections(int maxIdleConnections) {
+        if (maxIdleConnections < 0) {
+            throw new IllegalArgumentException("Max idle connections must not be negative");
+        }
+        checkNotBuilt();
+        this.maxIdleConnections = maxIdleConnections;
+        return this;
+    }
+
+    /**
+     * Get how long an idle connection is kept alive, in milliseconds.
+     *
+     * @return the keep-alive duration in milliseconds
+     */
+    public long getKeepAliveMs() {
+        return keepAliveMs;
+    }
+
+    /**
+     * Set how long an idle connection is kept alive, in milliseconds.
+     *
+     * @param keepAliveMs the keep-alive duration in milliseconds
+     * @return this transport instance for chaining
+     */
+    public HttpTransport setKeepAliveMs(long keepAliveMs) {
+        if (keepAliveMs <= 0) {
+            throw new IllegalArgumentException("Keep-alive must be positive");
+        }
+        checkNotBuilt();
+        this.keepAliveMs = keepAliveMs;
+        return this;
+    }
+
+    /**
+     * Get the maximum number of concurrent asynchronous requests.
+     *
+     * @return the maximum number of concurrent requests
+     */
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * Set the maximum number of concurrent asynchronous requests.
+     *
+     * @param maxRequests the maximum number of concurrent requests
+     * @return this transport instance for chaining
+     */
+    public HttpTransport setMaxRequests(int maxRequests) {
+        if (maxRequests < 1) {
+            throw new IllegalArgumentException("Max requests must be at least 1");
+        }
+        checkNotBuilt();
+        this.maxRequests = maxRequests;
+        return this;
+    }
+
+    /**
+     * Get the maximum number of concurrent asynchronous requests per host.
+     *
+     * @return the maximum number of concurrent requests per host
+     */
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    /**
+     * Set the maximum number of concurrent asynchronous requests per host.
+     *
+     * @param maxRequestsPerHost the maximum number of concurrent requests per host
+     * @return this transport instance for chaining
+     */
+    public HttpTransport setMaxRequestsPerHost(int maxRequestsPerHost) {
+        if (maxRequestsPerHost < 1) {
+            throw new IllegalArgumentException("Max requests per host must be at least 1");
+        }
+        checkNotBuilt();
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        return this;
+    }
+
+    /**
+     * Get the connect timeout in milliseconds.
+     *
+     * @return the connect timeout in milliseconds
+     */
+    public long getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    /**
+     * Set the connect timeout in milliseconds. Zero means no timeout.
+     *
+     * @param connectTimeoutMs the connect timeout in milliseconds
+     * @return this transport instance for chaining
+     */
+    public HttpTransport setConnectTimeoutMs(long connectTimeoutMs) {
+        if (connectTimeoutMs < 0) {
+            throw new IllegalArgumentException("Connect timeout must not be negative");
+        }
+        checkNotBuilt();
+        this.connectTimeoutMs = connectTimeoutMs;
+        return this;
+    }
+
+    /**
+     * Get the read timeout in milliseconds.
+     *
+     * @return the read timeout in milliseconds
+     */
+    public long getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+
+    /**
+     * Set the read timeout in milliseconds. Zero means no timeout.
+     *
+     * @param readTimeoutMs the read timeout in milliseconds
+     * @return this transport instance for chaining
+     */
+    public HttpTransport setReadTimeoutMs(long readTimeoutMs) {
+        if (readTimeoutMs < 0) {
+            throw new IllegalArgumentException("Read timeout must not be negative");
+        }
+        checkNotBuilt();
+        this.readTimeoutMs = readTimeoutMs;
+        return this;
+    }
+
+    /**
+     * Get the write timeout in milliseconds.
+     *
+     * @return the write timeout in milliseconds
+     */
+    public long getWriteTimeoutMs() {
+        return writeTimeoutMs;
+    }
+
+    /**
+     * Set the write timeout in milliseconds. Zero means no timeout.
+     *
+     * @param writeTimeoutMs the write timeout in milliseconds
+     * @return this transport instance for chaining
+     */
+    public HttpTransport setWriteTimeoutMs(long writeTimeoutMs) {
+        if (writeTimeoutMs < 0) {
+            throw new IllegalArgumentException("Write timeout must not be negative");
+        }
+        checkNotBuilt();
+        this.writeTimeoutMs = writeTimeoutMs;
+        return this;
+    }
+
+    private void checkNotBuilt() {
+        if (httpClient != null) {
+            throw new IllegalStateException("HTTP transport settings cannot be changed after first use");
+        }
+    }
+}
@@ -2,29 +2,25 @@ package com.neurallog.sdk;
 
 import com.neurallog.client.NeuralLogClient;
 import com.neurallog.client.NeuralLogClientConfig;
-import com.neurallog.client.exception.LogException;
-import com.neurallog.client.model.SearchOptions;
 
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Implementation of the AILogger interface.
  *
  * This class sends logs to the NeuralLog server using the NeuralLog client SDK.
+ * Entries are handed to a {@link LogBatcher}, which sends them in batches from
+ * a background thread.
  */
 class AILoggerImpl implements AILogger {
 
     private final String logName;
     private final NeuralLogConfig config;
-    private final ExecutorService executor;
-    private final NeuralLogClient client;
+    private final LogBatcher batcher;
 
     /**
      * Create a new AILoggerImpl.
@@ -33,28 +29,49 @@ class AILoggerImpl implements AILogger {
      * @param config the configuration
      */
     AILoggerImpl(String logName, NeuralLogConfig config) {
+        this(logName, config, new LogBatcher(createClient(config), config));
+    }
+
+    /**
+     * Create a new AILoggerImpl that sends entries through the given batcher.
+     *
+     * @param logName the log name
+     * @param config the configuration
+     * @param batcher the batcher used to send entries
+     */
+    AILoggerImpl(String logName, NeuralLogConfig config, LogBatcher batcher) {
         this.logName = logName;
         this.config = config;
-        this.executor = Executors.newCachedThreadPool();
+        this.batcher = batcher;
+    }
 
+    /**
+     * Create and authenticate a client for the given configuration.
+     *
+     * @param config the configuration
+     * @return the client
+     */
+    private static NeuralLogClient createClient(NeuralLogConfig config) {
         // Initialize the client
         NeuralLogClientConfig clientConfig = new NeuralLogClientConfig()
             .setTenantId(config.getNamespace())
             .setAuthUrl(config.getServerUrl())
             .setLogsUrl(config.getServerUrl());
 
-        this.client = new NeuralLogClient(clientConfig);
+        NeuralLogClient client = new NeuralLogClient(clientConfig);
 
         // Authenticate with API key if available
         String apiKey = config.getHeaders().get("Authorization");
         if (apiKey != null && apiKey.startsWith("Bearer ")) {
             apiKey = apiKey.substring("Bearer ".length());
             try {
-                this.client.authenticateWithApiKey(apiKey);
+                client.authenticateWithApiKey(apiKey);
             } catch (Exception e) {
                 System.err.println("Failed to authenticate with API key: " + e.getMessage());
             }
         }
+
+        return client;
     }
 
     @Override
@@ -316,17 +333,8 @@ class AILoggerImpl implements AILogger {
             logData.put("data", data);
         }
 
-        // Send the log entry asynchronously
-        CompletableFuture.runAsync(() -> {
-            try {
-                // Log the data using the client SDK
-                client.log(logName, logData);
-            } catch (LogException e) {
-                System.err.println("Failed to send log: " + e.getMessage());
-            } catch (Exception e) {
-                System.err.println("Failed to send log: " + e.getMessage());
-            }
-        }, executor);
+        // Hand the entry to the batcher; it is sent from the flusher thread
+        batcher.enqueue(logName, logData);
     }
 
     /**
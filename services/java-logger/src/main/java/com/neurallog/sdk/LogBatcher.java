@@ -0,0 +1,195 @@
+package com.neurallog.sdk;
+
+import com.neurallog.client.NeuralLogClient;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Batching sender for log entries.
+ *
+ * Logging threads only place entries on a bounded queue. A single background
+ * flusher drains the queue, groups the entries by log name and sends each group
+ * to the server with one request. A batch is sent as soon as it reaches the
+ * configured batch size, or once the linger time has passed since its first entry.
+ */
+final class LogBatcher {
+
+    private static final long IDLE_POLL_MS = 100;
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+    private static final AtomicInteger FLUSHER_COUNT = new AtomicInteger();
+
+    private final NeuralLogClient client;
+    private final NeuralLogConfig config;
+    private final BlockingQueue<PendingEntry> queue;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final Thread flusher;
+    private final Thread shutdownHook;
+
+    /**
+     * Create a new LogBatcher and start its flusher thread.
+     *
+     * @param client the client used to send batches
+     * @param config the configuration holding the batching settings
+     */
+    LogBatcher(NeuralLogClient client, NeuralLogConfig config) {
+        this.client = client;
+        this.config = config;
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+
+        this.flusher = new Thread(this::run, "neurallog-flusher-" + FLUSHER_COUNT.incrementAndGet());
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+
+        // Send whatever is still queued when the JVM exits
+        this.shutdownHook = new Thread(this::close, flusher.getName() + "-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Queue an entry for sending.
+     *
+     * @param logName the log name
+     * @param data the entry data
+     * @return true if the entry was queued, false if the queue was full or the batcher is closed
+     */
+    boolean enqueue(String logName, Map<String, Object> data) {
+        if (!running.get()) {
+            return false;
+        }
+        if (queue.offer(new PendingEntry(logName, data))) {
+            return true;
+        }
+        droppedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Get the number of entries dropped because the queue was full.
+     *
+     * @return the number of dropped entries
+     */
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Stop accepting entries, send everything still queued and stop the flusher thread.
+     */
+    void close() {
+        if (!running.compareAndSet(true, false)) {
+            return;
+        }
+
+        try {
+            flusher.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // The JVM is already shutting down
+            }
+        }
+    }
+
+    /**
+     * Main loop of the flusher thread.
+     */
+    private void run() {
+        List<PendingEntry> batch = new ArrayList<>();
+        while (running.get() || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                queue.drainTo(batch);
+                running.set(false);
+            }
+
+            if (!batch.isEmpty()) {
+                send(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Collect the next batch, waiting up to the linger time for it to fill.
+     *
+     * @param batch the list to collect entries into
+     * @throws InterruptedException if the flusher thread is interrupted
+     */
+    private void collect(List<PendingEntry> batch) throws InterruptedException {
+        PendingEntry first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        int batchSize = config.getBatchSize();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getLingerMs());
+        while (batch.size() < batchSize) {
+            // Take whatever is already queued without waiting
+            queue.drainTo(batch, batchSize - batch.size());
+            if (batch.size() >= batchSize || !running.get()) {
+                return;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+
+            PendingEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Send a batch, one request per log name.
+     *
+     * @param batch the entries to send
+     */
+    private void send(List<PendingEntry> batch) {
+        Map<String, List<Map<String, Object>>> byLogName = new LinkedHashMap<>();
+        for (PendingEntry entry : batch) {
+            byLogName.computeIfAbsent(entry.logName, name -> new ArrayList<>()).add(entry.data);
+        }
+
+        for (Map.Entry<String, List<Map<String, Object>>> group : byLogName.entrySet()) {
+            try {
+                client.logBatch(group.getKey(), group.getValue());
+            } catch (Exception e) {
+                System.err.println("Failed to send log batch: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * An entry waiting to be sent.
+     */
+    private static final class PendingEntry {
+        private final String logName;
+        private final Map<String, Object> data;
+
+        PendingEntry(String logName, Map<String, Object> data) {
+            this.logName = logName;
+            this.data = data;
+        }
+    }
+}
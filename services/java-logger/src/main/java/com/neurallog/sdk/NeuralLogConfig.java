@@ -29,6 +29,9 @@ public class NeuralLogConfig {
     private static final String ENV_NAMESPACE = "NEURALLOG_NAMESPACE";
     private static final String DEFAULT_SERVER_URL = "http://localhost:3030";
     private static final String DEFAULT_NAMESPACE = "default";
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final long DEFAULT_LINGER_MS = 200;
+    private static final int DEFAULT_QUEUE_CAPACITY = 10000;
 
     private static final String[] CONFIG_FILE_NAMES = {
         ".neurallogrc",
@@ -41,6 +44,9 @@ public class NeuralLogConfig {
     private Map<String, LogLevel> logLevels;
     private Map<String, String> headers;
     private JsonSerializer jsonSerializer;
+    private int batchSize;
+    private long lingerMs;
+    private int queueCapacity;
 
     /**
      * Create a new configuration with default values.
@@ -51,6 +57,9 @@ public class NeuralLogConfig {
         this.logLevels = new HashMap<>();
         this.headers = new HashMap<>();
         this.jsonSerializer = new JacksonSerializer();
+        this.batchSize = DEFAULT_BATCH_SIZE;
+        this.lingerMs = DEFAULT_LINGER_MS;
+        this.queueCapacity = DEFAULT_QUEUE_CAPACITY;
 
         // Try to load configuration from files
         loadFromConfigFiles();
@@ -200,6 +209,75 @@ public class NeuralLogConfig {
         return this;
     }
 
+    /**
+     * Get the maximum number of entries sent in a single batch.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Set the maximum number of entries sent in a single batch.
+     *
+     * @param batchSize the batch size
+     * @return this configuration instance for chaining
+     */
+    public NeuralLogConfig setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Get the maximum time in milliseconds a batch waits for more entries before it is sent.
+     *
+     * @return the linger time in milliseconds
+     */
+    public long getLingerMs() {
+        return lingerMs;
+    }
+
+    /**
+     * Set the maximum time in milliseconds a batch waits for more entries before it is sent.
+     *
+     * @param lingerMs the linger time in milliseconds
+     * @return this configuration instance for chaining
+     */
+    public NeuralLogConfig setLingerMs(long lingerMs) {
+        if (lingerMs < 0) {
+            throw new IllegalArgumentException("Linger time must not be negative");
+        }
+        this.lingerMs = lingerMs;
+        return this;
+    }
+
+    /**
+     * Get the maximum number of entries waiting to be sent.
+     *
+     * @return the queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Set the maximum number of entries waiting to be sent.
+     *
+     * @param queueCapacity the queue capacity
+     * @return this configuration instance for chaining
+     */
+    public NeuralLogConfig setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be at least 1");
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
     /**
      * Get an environment variable, or a default value if not set.
      *
@@ -292,6 +370,20 @@ public class NeuralLogConfig {
             this.headers.putAll(headers);
         }
 
+        try {
+            if (config.get("batchSize") instanceof Number) {
+                setBatchSize(((Number) config.get("batchSize")).intValue());
+            }
+            if (config.get("lingerMs") instanceof Number) {
+                setLingerMs(((Number) config.get("lingerMs")).longValue());
+            }
+            if (config.get("queueCapacity") instanceof Number) {
+                setQueueCapacity(((Number) config.get("queueCapacity")).intValue());
+            }
+        } catch (IllegalArgumentException e) {
+            // Ignore invalid batching settings
+        }
+
         return true;
     }
 
@@ -340,6 +432,24 @@ public class NeuralLogConfig {
             }
         }
 
+        // Load batching settings
+        try {
+            String batchSize = props.getProperty("batchSize");
+            if (batchSize != null) {
+                setBatchSize(Integer.parseInt(batchSize.trim()));
+            }
+            String lingerMs = props.getProperty("lingerMs");
+            if (lingerMs != null) {
+                setLingerMs(Long.parseLong(lingerMs.trim()));
+            }
+            String queueCapacity = props.getProperty("queueCapacity");
+            if (queueCapacity != null) {
+                setQueueCapacity(Integer.parseInt(queueCapacity.trim()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Ignore invalid batching settings
+        }
+
         return true;
     }
 }
@@ -1,11 +1,8 @@
 package com.neurallog.sdk;
 
-import com.neurallog.sdk.api.LogsApi;
-import com.neurallog.sdk.client.ApiClient;
-import com.neurallog.sdk.client.ApiException;
-import com.neurallog.sdk.model.LogEntry;
-import com.neurallog.sdk.serialization.JacksonSerializer;
-import com.neurallog.sdk.serialization.JsonSerializer;
+import com.neurallog.client.NeuralLogClient;
+import com.neurallog.client.exception.LogException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -27,63 +24,51 @@ import static org.mockito.Mockito.*;
 public class AILoggerTest {
 
     @Mock
-    private LogsApi logsApi;
+    private NeuralLogClient client;
 
     private AILogger logger;
     private NeuralLogConfig config;
+    private LogBatcher batcher;
 
     @BeforeEach
-    public void setup() throws ApiException {
+    public void setup() throws LogException {
         MockitoAnnotations.openMocks(this);
 
-        // Configure the SDK with a mock API client
+        // Configure the SDK
         config = new NeuralLogConfig()
             .setServerUrl("http://localhost:3030")
-            .setNamespace("test");
-
-        // Create a logger that uses the mock API
-        ApiClient apiClient = new ApiClient();
-        apiClient.setBasePath(config.getServerUrl());
-
-        // Create the logger
-        logger = new AILoggerImpl("test-logger", config) {
-            @Override
-            protected LogsApi createLogsApi(ApiClient apiClient) {
-                return logsApi;
-            }
-        };
-
-        // Mock the API response
-        when(logsApi.logsLogNamePatch(eq("test-logger"), any(), eq("test")))
-            .thenReturn(null);
+            .setNamespace("test")
+            .setLingerMs(10);
+
+        // Create a logger that sends through the mock client
+        batcher = new LogBatcher(client, config);
+        logger = new AILoggerImpl("test-logger", config, batcher);
+
+        // Mock the client response
+        when(client.logBatch(eq("test-logger"), any())).thenReturn("log-id");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        batcher.close();
     }
 
     @Test
-    public void testSimpleLogging() throws ApiException {
+    public void testSimpleLogging() throws LogException {
         // Log a simple message
         logger.info("Test message");
 
-        // Verify that the API was called
-        ArgumentCaptor<Object> requestCaptor = ArgumentCaptor.forClass(Object.class);
-        verify(logsApi, timeout(5000)).logsLogNamePatch(
-            eq("test-logger"),
-            requestCaptor.capture(),
-            eq("test")
-        );
-
-        // Verify the log entry
-        @SuppressWarnings("unchecked")
-        List<LogEntry> entries = (List<LogEntry>) requestCaptor.getValue();
+        // Verify that the client was called
+        List<Map<String, Object>> entries = captureBatch();
         assertEquals(1, entries.size());
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> data = (Map<String, Object>) entries.get(0).getData();
+        Map<String, Object> data = entries.get(0);
         assertEquals("INFO", data.get("level"));
         assertEquals("Test message", data.get("message"));
     }
 
     @Test
-    public void testStructuredLogging() throws ApiException {
+    public void testStructuredLogging() throws LogException {
         // Log with structured data
         Map<String, Object> data = new HashMap<>();
         data.put("test", true);
@@ -91,21 +76,11 @@ public class AILoggerTest {
         data.put("message", "This is a test");
         logger.info("Test message with data", data);
 
-        // Verify that the API was called
-        ArgumentCaptor<Object> requestCaptor = ArgumentCaptor.forClass(Object.class);
-        verify(logsApi, timeout(5000)).logsLogNamePatch(
-            eq("test-logger"),
-            requestCaptor.capture(),
-            eq("test")
-        );
-
-        // Verify the log entry
-        @SuppressWarnings("unchecked")
-        List<LogEntry> entries = (List<LogEntry>) requestCaptor.getValue();
+        // Verify that the client was called
+        List<Map<String, Object>> entries = captureBatch();
         assertEquals(1, entries.size());
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> logData = (Map<String, Object>) entries.get(0).getData();
+        Map<String, Object> logData = entries.get(0);
         assertEquals("INFO", logData.get("level"));
         assertEquals("Test message with data", logData.get("message"));
 
@@ -118,28 +93,18 @@ public class AILoggerTest {
     }
 
     @Test
-    public void testObjectLogging() throws ApiException {
+    public void testObjectLogging() throws LogException {
         // Create a test object
         TestUser user = new TestUser("123", "johndoe", "john.doe@example.com");
 
         // Log the object
         logger.info("User created", user);
 
-        // Verify that the API was called
-        ArgumentCaptor<Object> requestCaptor = ArgumentCaptor.forClass(Object.class);
-        verify(logsApi, timeout(5000)).logsLogNamePatch(
-            eq("test-logger"),
-            requestCaptor.capture(),
-            eq("test")
-        );
-
-        // Verify the log entry
-        @SuppressWarnings("unchecked")
-        List<LogEntry> entries = (List<LogEntry>) requestCaptor.getValue();
+        // Verify that the client was called
+        List<Map<String, Object>> entries = captureBatch();
         assertEquals(1, entries.size());
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> logData = (Map<String, Object>) entries.get(0).getData();
+        Map<String, Object> logData = entries.get(0);
         assertEquals("INFO", logData.get("level"));
         assertEquals("User created", logData.get("message"));
 
@@ -152,28 +117,18 @@ public class AILoggerTest {
     }
 
     @Test
-    public void testExceptionLogging() throws ApiException {
+    public void testExceptionLogging() throws LogException {
         // Create an exception
         Exception exception = new RuntimeException("Test exception");
 
         // Log the exception
         logger.error("Test error", exception);
 
-        // Verify that the API was called
-        ArgumentCaptor<Object> requestCaptor = ArgumentCaptor.forClass(Object.class);
-        verify(logsApi, timeout(5000)).logsLogNamePatch(
-            eq("test-logger"),
-            requestCaptor.capture(),
-            eq("test")
-        );
-
-        // Verify the log entry
-        @SuppressWarnings("unchecked")
-        List<LogEntry> entries = (List<LogEntry>) requestCaptor.getValue();
+        // Verify that the client was called
+        List<Map<String, Object>> entries = captureBatch();
         assertEquals(1, entries.size());
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> logData = (Map<String, Object>) entries.get(0).getData();
+        Map<String, Object> logData = entries.get(0);
         assertEquals("ERROR", logData.get("level"));
         assertEquals("Test error", logData.get("message"));
 
@@ -185,6 +140,18 @@ public class AILoggerTest {
         assertNotNull(errorData.get("stack"));
     }
 
+    /**
+     * Capture the batch sent to the mock client.
+     *
+     * @return the entries in the batch
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> captureBatch() throws LogException {
+        ArgumentCaptor<List<Map<String, Object>>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(client, timeout(5000)).logBatch(eq("test-logger"), batchCaptor.capture());
+        return batchCaptor.getValue();
+    }
+
     /**
      * Test user class for object serialization tests.
      */
@@ -0,0 +1,141 @@
+package com.neurallog.sdk;
+
+import com.neurallog.client.NeuralLogClient;
+import com.neurallog.client.exception.LogException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the LogBatcher.
+ */
+public class LogBatcherTest {
+
+    @Mock
+    private NeuralLogClient client;
+
+    private NeuralLogConfig config;
+    private LogBatcher batcher;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        config = new NeuralLogConfig()
+            .setBatchSize(5)
+            .setLingerMs(60000)
+            .setQueueCapacity(10);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
+    @Test
+    public void testFullBatchIsSentWithoutWaitingForLinger() throws LogException {
+        batcher = new LogBatcher(client, config);
+
+        for (int i = 0; i < 5; i++) {
+            batcher.enqueue("test-log", Collections.singletonMap("index", i));
+        }
+
+        // Verify that the whole batch was sent in one call
+        List<Map<String, Object>> entries = captureBatch("test-log");
+        assertEquals(5, entries.size());
+        assertEquals(0, entries.get(0).get("index"));
+        assertEquals(4, entries.get(4).get("index"));
+    }
+
+    @Test
+    public void testPartialBatchIsSentAfterLinger() throws LogException {
+        config.setLingerMs(20);
+        batcher = new LogBatcher(client, config);
+
+        batcher.enqueue("test-log", Collections.singletonMap("index", 0));
+        batcher.enqueue("test-log", Collections.singletonMap("index", 1));
+
+        // Verify that the batch was sent once the linger time passed
+        List<Map<String, Object>> entries = captureBatch("test-log");
+        assertEquals(2, entries.size());
+    }
+
+    @Test
+    public void testEntriesAreGroupedByLogName() throws LogException {
+        config.setLingerMs(20);
+        batcher = new LogBatcher(client, config);
+
+        batcher.enqueue("log-a", Collections.singletonMap("index", 0));
+        batcher.enqueue("log-b", Collections.singletonMap("index", 1));
+        batcher.enqueue("log-a", Collections.singletonMap("index", 2));
+
+        // Verify that each log name was sent as its own batch
+        assertEquals(2, captureBatch("log-a").size());
+        assertEquals(1, captureBatch("log-b").size());
+    }
+
+    @Test
+    public void testCloseSendsQueuedEntries() throws LogException {
+        batcher = new LogBatcher(client, config);
+
+        batcher.enqueue("test-log", Collections.singletonMap("index", 0));
+        batcher.close();
+
+        // Verify that the entry was sent despite the long linger time
+        verify(client).logBatch(eq("test-log"), any());
+        assertFalse(batcher.enqueue("test-log", Collections.singletonMap("index", 1)));
+    }
+
+    @Test
+    public void testFullQueueDropsEntries() throws Exception {
+        // Block the flusher in the first send so the queue fills up
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.logBatch(any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "log-id";
+        });
+        config.setBatchSize(1);
+        batcher = new LogBatcher(client, config);
+
+        batcher.enqueue("test-log", Collections.singletonMap("index", 0));
+        verify(client, timeout(5000)).logBatch(eq("test-log"), any());
+
+        for (int i = 1; i <= 11; i++) {
+            batcher.enqueue("test-log", Collections.singletonMap("index", i));
+        }
+
+        // Verify that the entry beyond the queue capacity was dropped
+        assertEquals(1, batcher.getDroppedCount());
+
+        release.countDown();
+    }
+
+    /**
+     * Capture the batch sent to the mock client for a log name.
+     *
+     * @param logName the log name
+     * @return the entries in the batch
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> captureBatch(String logName) throws LogException {
+        ArgumentCaptor<List<Map<String, Object>>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(client, timeout(5000)).logBatch(eq(logName), batchCaptor.capture());
+        return batchCaptor.getValue();
+    }
+}